@@ -1,7 +1,20 @@
 import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.text.ParseException;
+import java.text.ParsePosition;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
 
 // Enum for Room Categories
 enum RoomCategory {
@@ -137,6 +150,9 @@ class FileManager {
     private static final String ROOMS_FILE = "rooms.dat";
     private static final String RESERVATIONS_FILE = "reservations.dat";
     private static final String GUESTS_FILE = "guests.dat";
+    private static final String SNAPSHOT_DIR = "snapshot";
+    private static final String SNAPSHOT_MARKER = "READY";
+    private static final String[] DATA_FILES = {ROOMS_FILE, RESERVATIONS_FILE, GUESTS_FILE};
     
     public static void saveRooms(List<Room> rooms) {
         try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(ROOMS_FILE))) {
@@ -197,23 +213,639 @@ class FileManager {
             return new ArrayList<>();
         }
     }
+    
+    // The snapshot is a directory of columnar files, one per record kind. The marker file is
+    // written last and records the length and modification time of each .dat file, so a
+    // snapshot is only used when complete and taken from exactly the .dat files on disk.
+    public static boolean isSnapshotCurrent() {
+        try {
+            byte[] marker = Files.readAllBytes(Paths.get(SNAPSHOT_DIR, SNAPSHOT_MARKER));
+            return new String(marker, StandardCharsets.UTF_8).equals(dataFingerprint());
+        } catch (IOException e) {
+            return false;
+        }
+    }
+    
+    private static String dataFingerprint() {
+        StringBuilder fingerprint = new StringBuilder();
+        for (String name : DATA_FILES) {
+            File file = new File(name);
+            fingerprint.append(name).append(' ').append(file.length())
+                       .append(' ').append(file.lastModified()).append('\n');
+        }
+        return fingerprint.toString();
+    }
+    
+    // Copies the .dat files into dir, keeping their timestamps so a restore leaves the snapshot current
+    public static void backupDataFiles(Path dir) throws IOException {
+        for (String name : DATA_FILES) {
+            Path file = Paths.get(name);
+            if (Files.exists(file)) {
+                Files.copy(file, dir.resolve(name), StandardCopyOption.COPY_ATTRIBUTES);
+            }
+        }
+    }
+    
+    // Puts back the files saved by backupDataFiles and deletes any .dat file that did not exist then
+    public static void restoreDataFiles(Path dir) throws IOException {
+        for (String name : DATA_FILES) {
+            Path backup = dir.resolve(name);
+            if (Files.exists(backup)) {
+                Files.copy(backup, Paths.get(name), StandardCopyOption.REPLACE_EXISTING,
+                           StandardCopyOption.COPY_ATTRIBUTES);
+                Files.delete(backup);
+            } else {
+                Files.deleteIfExists(Paths.get(name));
+            }
+        }
+        Files.delete(dir);
+    }
+    
+    public static void saveSnapshot(List<Room> rooms, List<Guest> guests, List<Reservation> reservations) {
+        File dir = new File(SNAPSHOT_DIR);
+        File marker = new File(dir, SNAPSHOT_MARKER);
+        try {
+            if (!dir.isDirectory() && !dir.mkdirs()) {
+                throw new IOException("Cannot create directory " + dir);
+            }
+            if (marker.exists() && !marker.delete()) {
+                throw new IOException("Cannot remove " + marker);
+            }
+            DataTransfer.export(DataKind.ROOMS, "col", rooms, snapshotFile(DataKind.ROOMS), null, null);
+            DataTransfer.export(DataKind.GUESTS, "col", guests, snapshotFile(DataKind.GUESTS), null, null);
+            DataTransfer.export(DataKind.RESERVATIONS, "col", reservations, snapshotFile(DataKind.RESERVATIONS), null, null);
+            Files.write(marker.toPath(), dataFingerprint().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            System.out.println("Error saving snapshot: " + e.getMessage());
+        }
+    }
+    
+    // Loads rooms, guests and reservations on separate threads, then links each reservation
+    // to the loaded guest and room instances. The target lists are left untouched on failure.
+    public static boolean loadSnapshot(List<Room> rooms, List<Guest> guests, List<Reservation> reservations) {
+        if (!isSnapshotCurrent()) {
+            return false;
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(3);
+        try {
+            Future<List<Room>> roomTask = pool.submit(() -> {
+                List<Room> loaded = new ArrayList<>();
+                for (Object[] row : readSnapshotSection(DataKind.ROOMS)) loaded.add(DataTransfer.toRoom(row));
+                return loaded;
+            });
+            Future<List<Guest>> guestTask = pool.submit(() -> {
+                List<Guest> loaded = new ArrayList<>();
+                for (Object[] row : readSnapshotSection(DataKind.GUESTS)) loaded.add(DataTransfer.toGuest(row));
+                return loaded;
+            });
+            Future<List<Object[]>> reservationTask = pool.submit(() -> readSnapshotSection(DataKind.RESERVATIONS));
+            
+            List<Reservation> loaded = linkRows(reservationTask.get(), roomTask.get(), guestTask.get());
+            
+            rooms.addAll(roomTask.get());
+            guests.addAll(guestTask.get());
+            reservations.addAll(loaded);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            System.out.println("Error loading snapshot: " + e.getCause().getMessage());
+            return false;
+        } catch (IOException | IllegalArgumentException e) {
+            System.out.println("Error loading snapshot: " + e.getMessage());
+            return false;
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    // Points each reservation at the room and guest with the same number/ID in the loaded lists,
+    // so changes made through a reservation (such as freeing its room) reach those lists
+    public static List<Reservation> linkReservations(List<Reservation> reservations,
+                                                     List<Room> rooms, List<Guest> guests) {
+        List<Object[]> rows = new ArrayList<>(reservations.size());
+        for (Reservation res : reservations) {
+            rows.add(DataTransfer.toRow(DataKind.RESERVATIONS, res));
+        }
+        try {
+            return linkRows(rows, rooms, guests);
+        } catch (IOException e) {
+            System.out.println("Error linking reservations: " + e.getMessage());
+            return reservations;
+        }
+    }
+    
+    private static List<Reservation> linkRows(List<Object[]> rows, List<Room> rooms,
+                                              List<Guest> guests) throws IOException {
+        Map<Integer, Room> roomIndex = new HashMap<>();
+        for (Room room : rooms) roomIndex.put(room.getRoomNumber(), room);
+        Map<String, Guest> guestIndex = new HashMap<>();
+        for (Guest guest : guests) guestIndex.put(guest.getGuestId(), guest);
+        
+        List<Reservation> linked = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Guest guest = guestIndex.get(row[1]);
+            Room room = roomIndex.get(row[2]);
+            if (guest == null || room == null) {
+                throw new IOException("Reservation " + row[0] + " refers to an unknown guest or room");
+            }
+            linked.add(DataTransfer.toReservation(row, guest, room));
+        }
+        return linked;
+    }
+    
+    // Reader over one snapshot section; callers check isSnapshotCurrent() first
+    public static RowReader openSnapshotReader(DataKind kind, Date from, Date to) throws IOException {
+        return DataTransfer.openReader(kind, "col", snapshotFile(kind), from, to);
+    }
+    
+    private static String snapshotFile(DataKind kind) {
+        return new File(SNAPSHOT_DIR, kind.name().toLowerCase() + ".col").getPath();
+    }
+    
+    private static List<Object[]> readSnapshotSection(DataKind kind) throws IOException {
+        List<Object[]> rows = new ArrayList<>();
+        try (RowReader reader = DataTransfer.openReader(kind, "col", snapshotFile(kind), null, null)) {
+            List<Object[]> chunk;
+            while ((chunk = reader.readChunk()) != null) {
+                rows.addAll(chunk);
+            }
+        }
+        return rows;
+    }
+}
+
+// Record types supported by bulk export/import, with their column layout.
+// Column types: S = text, I = integer, T = date, D = decimal, B = yes/no.
+enum DataKind {
+    ROOMS(new String[] {"roomNumber", "category", "capacity", "available"}, "ISIB", -1),
+    GUESTS(new String[] {"guestId", "name", "email", "phone"}, "SSSS", -1),
+    RESERVATIONS(new String[] {"reservationId", "guestId", "roomNumber", "checkIn", "checkOut",
+                               "status", "totalAmount", "paymentCompleted"}, "SSITTSDB", 3);
+    
+    private final String[] columns;
+    private final String types;
+    private final int dateColumn;
+    
+    DataKind(String[] columns, String types, int dateColumn) {
+        this.columns = columns;
+        this.types = types;
+        this.dateColumn = dateColumn;
+    }
+    
+    public String[] getColumns() { return columns; }
+    public char getType(int column) { return types.charAt(column); }
+    // Column used for date-range slicing, or -1 if the kind has none
+    public int getDateColumn() { return dateColumn; }
+}
+
+// Sink for exported rows
+interface RowWriter extends Closeable {
+    void write(Object[] row) throws IOException;
+}
+
+// Source of imported rows, read in chunks of at most DataTransfer.CHUNK_SIZE
+interface RowReader extends Closeable {
+    List<Object[]> readChunk() throws IOException;
+}
+
+// Streaming CSV and columnar export/import for rooms, guests and reservations.
+// Rows are processed in fixed-size chunks so memory use does not grow with file size.
+class DataTransfer {
+    public static final int CHUNK_SIZE = 10000;
+    private static final String DATE_FORMAT = "yyyy-MM-dd";
+    private static final int COLUMNAR_MAGIC = 0x48434F4C; // "HCOL"
+    private static final int COLUMNAR_VERSION = 1;
+    
+    public static int export(DataKind kind, String format, List<?> records, String file,
+                             Date from, Date to) throws IOException {
+        int count = 0;
+        try (RowWriter writer = openWriter(kind, format, file)) {
+            for (Object record : records) {
+                Object[] row = toRow(kind, record);
+                if (inRange(kind, row, from, to)) {
+                    writer.write(row);
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+    
+    // Copies rows chunk by chunk, so only one chunk is held in memory at a time
+    public static int export(DataKind kind, String format, RowReader reader, String file) throws IOException {
+        int count = 0;
+        try (RowWriter writer = openWriter(kind, format, file)) {
+            List<Object[]> chunk;
+            while ((chunk = reader.readChunk()) != null) {
+                for (Object[] row : chunk) {
+                    writer.write(row);
+                }
+                count += chunk.size();
+            }
+        }
+        return count;
+    }
+    
+    public static RowWriter openWriter(DataKind kind, String format, String file) throws IOException {
+        if (format.equalsIgnoreCase("csv")) {
+            return new CsvRowWriter(kind, file);
+        } else if (format.equalsIgnoreCase("col")) {
+            return new ColumnarRowWriter(kind, file);
+        }
+        throw new IllegalArgumentException("Unknown format: " + format + " (expected csv or col)");
+    }
+    
+    public static RowReader openReader(DataKind kind, String format, String file,
+                                       Date from, Date to) throws IOException {
+        if (format.equalsIgnoreCase("csv")) {
+            return new CsvRowReader(kind, file, from, to);
+        } else if (format.equalsIgnoreCase("col")) {
+            return new ColumnarRowReader(kind, file, from, to);
+        }
+        throw new IllegalArgumentException("Unknown format: " + format + " (expected csv or col)");
+    }
+    
+    static Object[] toRow(DataKind kind, Object record) {
+        switch (kind) {
+            case ROOMS:
+                Room room = (Room) record;
+                return new Object[] {room.getRoomNumber(), room.getCategory().name(),
+                                     room.getCapacity(), room.isAvailable()};
+            case GUESTS:
+                Guest guest = (Guest) record;
+                return new Object[] {guest.getGuestId(), guest.getName(), guest.getEmail(), guest.getPhone()};
+            default:
+                Reservation res = (Reservation) record;
+                return new Object[] {res.getReservationId(), res.getGuest().getGuestId(),
+                                     res.getRoom().getRoomNumber(), res.getCheckInDate(),
+                                     res.getCheckOutDate(), res.getStatus().name(),
+                                     res.getTotalAmount(), res.isPaymentCompleted()};
+        }
+    }
+    
+    static Room toRoom(Object[] row) {
+        Room room = new Room((Integer) row[0], RoomCategory.valueOf((String) row[1]), (Integer) row[2]);
+        room.setAvailable((Boolean) row[3]);
+        return room;
+    }
+    
+    static Guest toGuest(Object[] row) {
+        return new Guest((String) row[0], (String) row[1], (String) row[2], (String) row[3]);
+    }
+    
+    static Reservation toReservation(Object[] row, Guest guest, Room room) {
+        Reservation res = new Reservation((String) row[0], guest, room, (Date) row[3], (Date) row[4]);
+        res.setStatus(ReservationStatus.valueOf((String) row[5]));
+        res.setPaymentCompleted((Boolean) row[7]);
+        return res;
+    }
+    
+    static boolean inRange(DataKind kind, Object[] row, Date from, Date to) {
+        if (kind.getDateColumn() < 0) return true;
+        long time = ((Date) row[kind.getDateColumn()]).getTime();
+        return (from == null || time >= from.getTime()) && (to == null || time <= to.getTime());
+    }
+    
+    static SimpleDateFormat dateFormat() {
+        SimpleDateFormat sdf = new SimpleDateFormat(DATE_FORMAT);
+        sdf.setLenient(false);
+        return sdf;
+    }
+    
+    // Unlike SimpleDateFormat.parse(String), rejects trailing text such as "2024-01-05junk"
+    static Date parseDate(SimpleDateFormat sdf, String text) throws ParseException {
+        ParsePosition pos = new ParsePosition(0);
+        Date date = sdf.parse(text, pos);
+        if (date == null || pos.getIndex() != text.length()) {
+            int errorIndex = pos.getErrorIndex() >= 0 ? pos.getErrorIndex() : pos.getIndex();
+            throw new ParseException("Unparseable date: \"" + text + "\"", errorIndex);
+        }
+        return date;
+    }
+    
+    // CSV with a header line; fields containing commas, quotes or line breaks are quoted
+    static class CsvRowWriter implements RowWriter {
+        private final DataKind kind;
+        private final BufferedWriter out;
+        private final SimpleDateFormat sdf = dateFormat();
+        
+        CsvRowWriter(DataKind kind, String file) throws IOException {
+            this.kind = kind;
+            this.out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), "UTF-8"));
+            out.write(String.join(",", kind.getColumns()));
+            out.newLine();
+        }
+        
+        @Override
+        public void write(Object[] row) throws IOException {
+            for (int i = 0; i < row.length; i++) {
+                if (i > 0) out.write(',');
+                String value = kind.getType(i) == 'T' ? sdf.format((Date) row[i]) : String.valueOf(row[i]);
+                if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                        || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                    value = "\"" + value.replace("\"", "\"\"") + "\"";
+                }
+                out.write(value);
+            }
+            out.newLine();
+        }
+        
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+    
+    static class CsvRowReader implements RowReader {
+        private final DataKind kind;
+        private final BufferedReader in;
+        private final Date from;
+        private final Date to;
+        private final SimpleDateFormat sdf = dateFormat();
+        private int lineNumber = 1;
+        
+        CsvRowReader(DataKind kind, String file, Date from, Date to) throws IOException {
+            this.kind = kind;
+            this.from = from;
+            this.to = to;
+            this.in = new BufferedReader(new InputStreamReader(new FileInputStream(file), "UTF-8"));
+            String[] header = readRecord();
+            if (header == null || !Arrays.equals(header, kind.getColumns())) {
+                in.close();
+                throw new IOException("Unexpected CSV header, expected: " + String.join(",", kind.getColumns()));
+            }
+        }
+        
+        @Override
+        public List<Object[]> readChunk() throws IOException {
+            List<Object[]> chunk = new ArrayList<>();
+            while (chunk.size() < CHUNK_SIZE) {
+                int recordLine = lineNumber;
+                String[] fields = readRecord();
+                if (fields == null) break;
+                if (fields.length == 1 && fields[0].isEmpty()) continue;
+                if (fields.length != kind.getColumns().length) {
+                    throw new IOException("Line " + recordLine + ": expected " + kind.getColumns().length
+                                          + " fields but found " + fields.length);
+                }
+                Object[] row = parseRow(fields, recordLine);
+                if (inRange(kind, row, from, to)) {
+                    chunk.add(row);
+                }
+            }
+            return chunk.isEmpty() ? null : chunk;
+        }
+        
+        private Object[] parseRow(String[] fields, int recordLine) throws IOException {
+            Object[] row = new Object[fields.length];
+            try {
+                for (int i = 0; i < fields.length; i++) {
+                    switch (kind.getType(i)) {
+                        case 'I': row[i] = Integer.parseInt(fields[i]); break;
+                        case 'T': row[i] = parseDate(sdf, fields[i]); break;
+                        case 'D': row[i] = Double.parseDouble(fields[i]); break;
+                        case 'B':
+                            if (!fields[i].equalsIgnoreCase("true") && !fields[i].equalsIgnoreCase("false")) {
+                                throw new IOException("Line " + recordLine + ": expected true or false but found \""
+                                                      + fields[i] + "\"");
+                            }
+                            row[i] = Boolean.parseBoolean(fields[i]);
+                            break;
+                        default: row[i] = fields[i];
+                    }
+                }
+            } catch (NumberFormatException | ParseException e) {
+                throw new IOException("Line " + recordLine + ": " + e.getMessage());
+            }
+            return row;
+        }
+        
+        private String[] readRecord() throws IOException {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            int c = in.read();
+            if (c == -1) return null;
+            for (; c != -1; c = in.read()) {
+                if (quoted) {
+                    if (c == '"') {
+                        in.mark(1);
+                        if (in.read() == '"') {
+                            field.append('"');
+                        } else {
+                            in.reset();
+                            quoted = false;
+                        }
+                    } else {
+                        if (c == '\n') lineNumber++;
+                        field.append((char) c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n') {
+                    break;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+            }
+            lineNumber++;
+            fields.add(field.toString());
+            return fields.toArray(new String[0]);
+        }
+        
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+    
+    // Columnar file: a header followed by row groups of up to CHUNK_SIZE rows. Each group
+    // stores its values column by column in a separately deflated block, preceded by the
+    // row count, the min/max of the date column and the block length, so readers can
+    // skip groups outside a date range without decompressing them. A zero row count ends the file.
+    static class ColumnarRowWriter implements RowWriter {
+        private final DataKind kind;
+        private final DataOutputStream out;
+        private final List<Object[]> group = new ArrayList<>();
+        
+        ColumnarRowWriter(DataKind kind, String file) throws IOException {
+            this.kind = kind;
+            this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+            out.writeInt(COLUMNAR_MAGIC);
+            out.writeByte(COLUMNAR_VERSION);
+            out.writeByte(kind.ordinal());
+        }
+        
+        @Override
+        public void write(Object[] row) throws IOException {
+            group.add(row);
+            if (group.size() == CHUNK_SIZE) {
+                flushGroup();
+            }
+        }
+        
+        private void flushGroup() throws IOException {
+            if (group.isEmpty()) return;
+            long min = Long.MIN_VALUE, max = Long.MAX_VALUE;
+            int dateColumn = kind.getDateColumn();
+            if (dateColumn >= 0) {
+                min = Long.MAX_VALUE;
+                max = Long.MIN_VALUE;
+                for (Object[] row : group) {
+                    long time = ((Date) row[dateColumn]).getTime();
+                    min = Math.min(min, time);
+                    max = Math.max(max, time);
+                }
+            }
+            
+            ByteArrayOutputStream block = new ByteArrayOutputStream();
+            try (DataOutputStream cols = new DataOutputStream(
+                    new BufferedOutputStream(new DeflaterOutputStream(block)))) {
+                for (int c = 0; c < kind.getColumns().length; c++) {
+                    for (Object[] row : group) {
+                        switch (kind.getType(c)) {
+                            case 'I': cols.writeInt((Integer) row[c]); break;
+                            case 'T': cols.writeLong(((Date) row[c]).getTime()); break;
+                            case 'D': cols.writeDouble((Double) row[c]); break;
+                            case 'B': cols.writeBoolean((Boolean) row[c]); break;
+                            default: cols.writeUTF((String) row[c]);
+                        }
+                    }
+                }
+            }
+            out.writeInt(group.size());
+            out.writeLong(min);
+            out.writeLong(max);
+            out.writeInt(block.size());
+            block.writeTo(out);
+            group.clear();
+        }
+        
+        @Override
+        public void close() throws IOException {
+            try {
+                flushGroup();
+                out.writeInt(0);
+            } finally {
+                out.close();
+            }
+        }
+    }
+    
+    static class ColumnarRowReader implements RowReader {
+        private final DataKind kind;
+        private final DataInputStream in;
+        private final Date from;
+        private final Date to;
+        
+        ColumnarRowReader(DataKind kind, String file, Date from, Date to) throws IOException {
+            this.kind = kind;
+            this.from = from;
+            this.to = to;
+            this.in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+            if (in.readInt() != COLUMNAR_MAGIC || in.readByte() != COLUMNAR_VERSION) {
+                in.close();
+                throw new IOException("Not a columnar export file: " + file);
+            }
+            if (in.readByte() != kind.ordinal()) {
+                in.close();
+                throw new IOException("File does not contain " + kind.name().toLowerCase());
+            }
+        }
+        
+        @Override
+        public List<Object[]> readChunk() throws IOException {
+            while (true) {
+                int rowCount = in.readInt();
+                if (rowCount == 0) return null;
+                long min = in.readLong();
+                long max = in.readLong();
+                int length = in.readInt();
+                if (rowCount < 0 || rowCount > CHUNK_SIZE || length < 0) {
+                    throw new IOException("Corrupt columnar file");
+                }
+                if ((from != null && max < from.getTime()) || (to != null && min > to.getTime())) {
+                    skipFully(length);
+                    continue;
+                }
+                
+                byte[] block = new byte[length];
+                in.readFully(block);
+                Object[][] rows = new Object[rowCount][kind.getColumns().length];
+                try (DataInputStream cols = new DataInputStream(
+                        new BufferedInputStream(new InflaterInputStream(new ByteArrayInputStream(block))))) {
+                    for (int c = 0; c < kind.getColumns().length; c++) {
+                        for (int r = 0; r < rowCount; r++) {
+                            switch (kind.getType(c)) {
+                                case 'I': rows[r][c] = cols.readInt(); break;
+                                case 'T': rows[r][c] = new Date(cols.readLong()); break;
+                                case 'D': rows[r][c] = cols.readDouble(); break;
+                                case 'B': rows[r][c] = cols.readBoolean(); break;
+                                default: rows[r][c] = cols.readUTF();
+                            }
+                        }
+                    }
+                }
+                
+                List<Object[]> chunk = new ArrayList<>(rowCount);
+                for (Object[] row : rows) {
+                    if (inRange(kind, row, from, to)) {
+                        chunk.add(row);
+                    }
+                }
+                if (!chunk.isEmpty()) return chunk;
+            }
+        }
+        
+        private void skipFully(int length) throws IOException {
+            while (length > 0) {
+                int skipped = in.skipBytes(length);
+                if (skipped <= 0) throw new EOFException("Truncated columnar file");
+                length -= skipped;
+            }
+        }
+        
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
 }
 
 // Main Hotel Reservation System
 public class HotelReservationSystem {
+    private static final int WARM_UP_BOOKINGS = 2000;
     private List<Room> rooms;
     private List<Reservation> reservations;
     private List<Guest> guests;
     private Scanner scanner;
     
     public HotelReservationSystem() {
-        rooms = FileManager.loadRooms();
-        reservations = FileManager.loadReservations();
-        guests = FileManager.loadGuests();
+        this(true);
+    }
+    
+    // Batch commands pass false so an import into an empty directory is not mixed with default rooms
+    public HotelReservationSystem(boolean seedRooms) {
+        rooms = new ArrayList<>();
+        reservations = new ArrayList<>();
+        guests = new ArrayList<>();
+        
+        // Prefer the snapshot; fall back to the .dat files if it is missing or stale
+        boolean fromSnapshot = FileManager.loadSnapshot(rooms, guests, reservations);
+        if (!fromSnapshot) {
+            rooms = FileManager.loadRooms();
+            guests = FileManager.loadGuests();
+            reservations = FileManager.linkReservations(FileManager.loadReservations(), rooms, guests);
+        }
         scanner = new Scanner(System.in);
         
         // Initialize rooms if empty
-        if (rooms.isEmpty()) {
+        if (seedRooms && rooms.isEmpty()) {
             initializeRooms();
         }
     }
@@ -360,14 +992,12 @@ public class HotelReservationSystem {
         }
         
         // Create reservation
-        String reservationId = "RES" + System.currentTimeMillis();
-        Reservation reservation = new Reservation(reservationId, guest, selectedRoom, checkIn, checkOut);
-        reservation.setStatus(ReservationStatus.CONFIRMED);
-        selectedRoom.setAvailable(false);
-        
-        reservations.add(reservation);
-        FileManager.saveReservations(reservations);
-        FileManager.saveRooms(rooms);
+        Reservation reservation;
+        synchronized (this) {
+            reservation = createReservation(guest, selectedRoom, checkIn, checkOut);
+            FileManager.saveReservations(reservations);
+            FileManager.saveRooms(rooms);
+        }
         
         System.out.println("\n" + "=".repeat(50));
         System.out.println("  RESERVATION CREATED SUCCESSFULLY!");
@@ -376,6 +1006,22 @@ public class HotelReservationSystem {
         System.out.println("=".repeat(50));
     }
     
+    // Adds a confirmed reservation and marks the room occupied; the caller saves the change
+    private Reservation createReservation(Guest guest, Room room, Date checkIn, Date checkOut) {
+        Reservation reservation = buildReservation(guest, room, checkIn, checkOut);
+        room.setAvailable(false);
+        reservations.add(reservation);
+        return reservation;
+    }
+    
+    // Builds a confirmed reservation without touching the room or the reservation list
+    private static Reservation buildReservation(Guest guest, Room room, Date checkIn, Date checkOut) {
+        String reservationId = "RES" + System.currentTimeMillis();
+        Reservation reservation = new Reservation(reservationId, guest, room, checkIn, checkOut);
+        reservation.setStatus(ReservationStatus.CONFIRMED);
+        return reservation;
+    }
+    
     private Guest selectOrCreateGuest() {
         System.out.println("\nGuest Information:");
         System.out.println("1. Existing Guest");
@@ -447,8 +1093,10 @@ public class HotelReservationSystem {
         
         String guestId = "G" + System.currentTimeMillis();
         Guest guest = new Guest(guestId, name, email, phone);
-        guests.add(guest);
-        FileManager.saveGuests(guests);
+        synchronized (this) {
+            guests.add(guest);
+            FileManager.saveGuests(guests);
+        }
         
         System.out.println("\nGuest added successfully!");
         System.out.println(guest);
@@ -510,10 +1158,12 @@ public class HotelReservationSystem {
             String confirm = scanner.nextLine().trim().toUpperCase();
             
             if (confirm.equals("Y")) {
-                found.setStatus(ReservationStatus.CANCELLED);
-                found.getRoom().setAvailable(true);
-                FileManager.saveReservations(reservations);
-                FileManager.saveRooms(rooms);
+                synchronized (this) {
+                    found.setStatus(ReservationStatus.CANCELLED);
+                    found.getRoom().setAvailable(true);
+                    FileManager.saveReservations(reservations);
+                    FileManager.saveRooms(rooms);
+                }
                 System.out.println("\nReservation cancelled successfully!");
             } else {
                 System.out.println("Cancellation aborted.");
@@ -576,8 +1226,10 @@ public class HotelReservationSystem {
             e.printStackTrace();
         }
         
-        found.setPaymentCompleted(true);
-        FileManager.saveReservations(reservations);
+        synchronized (this) {
+            found.setPaymentCompleted(true);
+            FileManager.saveReservations(reservations);
+        }
         
         System.out.println("\n" + "=".repeat(50));
         System.out.println("  PAYMENT SUCCESSFUL!");
@@ -614,6 +1266,10 @@ public class HotelReservationSystem {
     }
     
     private Reservation findReservation(String reservationId) {
+        return findReservation(reservations, reservationId);
+    }
+    
+    private static Reservation findReservation(List<Reservation> reservations, String reservationId) {
         for (Reservation res : reservations) {
             if (res.getReservationId().equalsIgnoreCase(reservationId.trim())) {
                 return res;
@@ -622,10 +1278,248 @@ public class HotelReservationSystem {
         return null;
     }
     
+    // Streams from the snapshot when it is current, skipping row groups outside the date range.
+    // Otherwise every record is loaded from the .dat files and filtered in memory.
+    private static void exportData(DataKind kind, String format, String file, Date from, Date to) {
+        try {
+            int count;
+            if (FileManager.isSnapshotCurrent()) {
+                try (RowReader reader = FileManager.openSnapshotReader(kind, from, to)) {
+                    count = DataTransfer.export(kind, format, reader, file);
+                }
+            } else {
+                HotelReservationSystem system = new HotelReservationSystem(false);
+                List<?> records = kind == DataKind.ROOMS ? system.rooms
+                                : kind == DataKind.GUESTS ? system.guests : system.reservations;
+                count = DataTransfer.export(kind, format, records, file, from, to);
+            }
+            System.out.printf("Exported %d %s to %s%n", count, kind.name().toLowerCase(), file);
+        } catch (IOException | IllegalArgumentException e) {
+            System.out.println("Error exporting " + kind.name().toLowerCase() + ": " + e.getMessage());
+        }
+    }
+    
+    // Records whose ID already exists, or reservations referring to an unknown guest or room, are skipped
+    public void importData(DataKind kind, String format, String file, Date from, Date to) {
+        Map<Integer, Room> roomIndex = new HashMap<>();
+        for (Room room : rooms) roomIndex.put(room.getRoomNumber(), room);
+        Map<String, Guest> guestIndex = new HashMap<>();
+        for (Guest guest : guests) guestIndex.put(guest.getGuestId(), guest);
+        Set<String> reservationIds = new HashSet<>();
+        for (Reservation res : reservations) reservationIds.add(res.getReservationId());
+        
+        int imported = 0, skipped = 0;
+        try (RowReader reader = DataTransfer.openReader(kind, format, file, from, to)) {
+            List<Object[]> chunk;
+            while ((chunk = reader.readChunk()) != null) {
+                for (Object[] row : chunk) {
+                    try {
+                        if (kind == DataKind.ROOMS) {
+                            if (roomIndex.containsKey(row[0])) { skipped++; continue; }
+                            Room room = DataTransfer.toRoom(row);
+                            rooms.add(room);
+                            roomIndex.put(room.getRoomNumber(), room);
+                        } else if (kind == DataKind.GUESTS) {
+                            if (guestIndex.containsKey(row[0])) { skipped++; continue; }
+                            Guest guest = DataTransfer.toGuest(row);
+                            guests.add(guest);
+                            guestIndex.put(guest.getGuestId(), guest);
+                        } else {
+                            Guest guest = guestIndex.get(row[1]);
+                            Room room = roomIndex.get(row[2]);
+                            if (guest == null || room == null || !reservationIds.add((String) row[0])) {
+                                skipped++;
+                                continue;
+                            }
+                            reservations.add(DataTransfer.toReservation(row, guest, room));
+                        }
+                        imported++;
+                    } catch (IllegalArgumentException e) {
+                        skipped++;
+                    }
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            System.out.println("Error importing " + kind.name().toLowerCase() + ": " + e.getMessage());
+            return;
+        }
+        
+        if (imported > 0) {
+            if (kind == DataKind.ROOMS) {
+                FileManager.saveRooms(rooms);
+            } else if (kind == DataKind.GUESTS) {
+                FileManager.saveGuests(guests);
+            } else {
+                FileManager.saveReservations(reservations);
+            }
+            FileManager.saveSnapshot(rooms, guests, reservations);
+        }
+        System.out.printf("Imported %d %s from %s (%d skipped)%n", imported, kind.name().toLowerCase(), file, skipped);
+    }
+    
+    // Non-interactive entry point for nightly extracts:
+    //   export|import csv|col rooms|guests|reservations <file> [from-date to-date]
+    private static void runBatchCommand(String[] args) {
+        String usage = "Usage: java HotelReservationSystem export|import csv|col "
+                     + "rooms|guests|reservations <file> [from yyyy-MM-dd] [to yyyy-MM-dd]";
+        if (args.length < 4 || args.length > 6) {
+            System.out.println(usage);
+            return;
+        }
+        
+        DataKind kind;
+        Date from = null, to = null;
+        try {
+            kind = DataKind.valueOf(args[2].toUpperCase());
+            SimpleDateFormat sdf = DataTransfer.dateFormat();
+            if (args.length > 4) from = DataTransfer.parseDate(sdf, args[4]);
+            if (args.length > 5) to = DataTransfer.parseDate(sdf, args[5]);
+        } catch (IllegalArgumentException | ParseException e) {
+            System.out.println(usage);
+            return;
+        }
+        
+        if (args[0].equalsIgnoreCase("export")) {
+            exportData(kind, args[1], args[3], from, to);
+        } else if (args[0].equalsIgnoreCase("import")) {
+            new HotelReservationSystem(false).importData(kind, args[1], args[3], from, to);
+        } else {
+            System.out.println(usage);
+        }
+    }
+    
+    // Runs the booking, lookup and save code on a background thread while the menu waits for
+    // input. The save is warmed by serializing copies of the loaded lists into a discarding
+    // stream; nothing is written to disk and the live lists are never touched.
+    private Thread startWarmUp() {
+        List<Reservation> reservationCopy = new ArrayList<>(reservations);
+        List<Room> roomCopy = new ArrayList<>(rooms);
+        Thread warmUp = new Thread(() -> {
+            SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd");
+            sdf.setLenient(false);
+            Guest guest = new Guest("GWARMUP", "Warm-up Guest", "warmup@example.com", "000-0000");
+            Room room = new Room(0, RoomCategory.STANDARD, 2);
+            try {
+                for (int i = 0; i < WARM_UP_BOOKINGS; i++) {
+                    buildReservation(guest, room, sdf.parse("2024-12-20"), sdf.parse("2024-12-23")).toString();
+                }
+                findReservation(reservationCopy, "RESWARMUP");
+                try (ObjectOutputStream oos = new ObjectOutputStream(OutputStream.nullOutputStream())) {
+                    oos.writeObject(reservationCopy);
+                    oos.writeObject(roomCopy);
+                }
+            } catch (ParseException | IOException e) {
+                // Warm-up is best effort; the real booking path reports its own errors
+            }
+        }, "warm-up");
+        warmUp.setDaemon(true);
+        warmUp.setPriority(Thread.MIN_PRIORITY);
+        warmUp.start();
+        return warmUp;
+    }
+    
+    // Writes the snapshot on any normal JVM stop (menu exit, Ctrl+C, SIGTERM) unless it is still
+    // current. Holding the lock used by the booking code keeps a half-applied change out of it.
+    private void registerSnapshotHook() {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            synchronized (this) {
+                if (!FileManager.isSnapshotCurrent()) {
+                    FileManager.saveSnapshot(rooms, guests, reservations);
+                }
+            }
+        }, "snapshot"));
+    }
+    
+    // Measures time from JVM start to the first completed booking, including the .dat saves
+    // bookRoom performs. The .dat files are backed up first and restored afterwards, so the
+    // benchmark can be run against live data. With "warm" the warm-up thread runs to completion
+    // first, as it would while a user reads the menu.
+    private static void runBenchmark(long mainStart, boolean warm) {
+        long jvmStart = ManagementFactory.getRuntimeMXBean().getStartTime();
+        boolean fromSnapshot = FileManager.isSnapshotCurrent();
+        
+        long loadStart = System.nanoTime();
+        HotelReservationSystem system = new HotelReservationSystem();
+        long loadEnd = System.nanoTime();
+        
+        Room room = null;
+        for (Room r : system.rooms) {
+            if (r.isAvailable()) {
+                room = r;
+                break;
+            }
+        }
+        if (room == null) {
+            System.out.println("No rooms available for the benchmark booking.");
+            return;
+        }
+        
+        long warmUpStart = System.nanoTime();
+        if (warm) {
+            try {
+                system.startWarmUp().join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        long warmUpEnd = System.nanoTime();
+        
+        Path backup;
+        try {
+            backup = Files.createTempDirectory("hotel-benchmark");
+            FileManager.backupDataFiles(backup);
+        } catch (IOException e) {
+            System.out.println("Error backing up data files: " + e.getMessage());
+            return;
+        }
+        
+        Guest guest = new Guest("GBENCHMARK", "Benchmark Guest", "benchmark@example.com", "000-0000");
+        Date checkIn = new Date();
+        Date checkOut = new Date(checkIn.getTime() + 1000L * 60 * 60 * 24);
+        long bookingStart = System.nanoTime();
+        Reservation reservation = system.createReservation(guest, room, checkIn, checkOut);
+        long created = System.nanoTime();
+        long saved;
+        try {
+            FileManager.saveReservations(system.reservations);
+            FileManager.saveRooms(system.rooms);
+            saved = System.nanoTime();
+        } finally {
+            system.reservations.remove(reservation);
+            room.setAvailable(true);
+            try {
+                FileManager.restoreDataFiles(backup);
+            } catch (IOException e) {
+                System.out.println("Error restoring data files from " + backup + ": " + e.getMessage());
+            }
+        }
+        // Backup and warm-up time are not part of what a user waits for
+        long firstBooking = mainStart + (loadEnd - loadStart + saved - bookingStart) / 1000000;
+        
+        System.out.println("\n" + "=".repeat(50));
+        System.out.println("         TIME-TO-FIRST-BOOKING BENCHMARK");
+        System.out.println("=".repeat(50));
+        System.out.println("Data source: " + (fromSnapshot ? "snapshot" : ".dat files"));
+        System.out.printf("Rooms: %d | Guests: %d | Reservations: %d%n",
+                         system.rooms.size(), system.guests.size(), system.reservations.size());
+        System.out.printf("JVM start to main:     %6d ms%n", mainStart - jvmStart);
+        System.out.printf("Load data:             %6.1f ms%n", (loadEnd - loadStart) / 1e6);
+        if (warm) {
+            System.out.printf("Warm-up (not counted): %6.1f ms%n", (warmUpEnd - warmUpStart) / 1e6);
+        }
+        System.out.printf("Create booking:        %6.1f ms%n", (created - bookingStart) / 1e6);
+        System.out.printf("Save booking:          %6.1f ms%n", (saved - created) / 1e6);
+        System.out.printf("Time to first booking: %6d ms%n", firstBooking - jvmStart);
+        System.out.println("=".repeat(50));
+    }
+    
     public void run() {
         System.out.println("\n" + "=".repeat(50));
         System.out.println("  Welcome to the Hotel Reservation System");
         System.out.println("=".repeat(50));
+        registerSnapshotHook();
+        startWarmUp();
         
         while (true) {
             displayMenu();
@@ -683,7 +1577,15 @@ public class HotelReservationSystem {
     }
     
     public static void main(String[] args) {
-        HotelReservationSystem system = new HotelReservationSystem();
-        system.run();
+        long mainStart = System.currentTimeMillis();
+        if (args.length > 0 && args[0].equalsIgnoreCase("benchmark")) {
+            runBenchmark(mainStart, args.length > 1 && args[1].equalsIgnoreCase("warm"));
+            return;
+        }
+        if (args.length > 0) {
+            runBatchCommand(args);
+            return;
+        }
+        new HotelReservationSystem().run();
     }
 }